@@ -24,6 +24,8 @@ public class AllTasksActivity extends AppCompatActivity {
     private ToDoListDB toDoListDB;
     // Adapter for displaying ToDo items in the ListView
     private ToDoListAdapter adapter;
+    // Coalesces sorting changes into one refresh per frame
+    private RefreshScheduler refreshScheduler;
     // List to hold ToDo items retrieved from the database
     private List<ToDo> arrayList;
 
@@ -48,6 +50,7 @@ public class AllTasksActivity extends AppCompatActivity {
         // Find the ListView in the layout and set the adapter to it
         ListView listView = (ListView) findViewById(R.id.lstView);
         listView.setAdapter(adapter);
+        refreshScheduler = new RefreshScheduler(adapter);
 
         // Find the Back button in the layout
         Button backBtn = (Button) findViewById(R.id.btnBack);
@@ -74,29 +77,14 @@ public class AllTasksActivity extends AppCompatActivity {
         // Handle selection of sorting options from the spinner
         spinnerSort.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
             @Override
-            public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
-                switch (position) {
-                    case 0: // Sort by priority
-                        Collections.sort(arrayList, new Comparator<ToDo>() {
-                            @Override
-                            public int compare(ToDo o1, ToDo o2) {
-                                // Compare ToDo items by priority
-                                return Integer.compare(o1.getPriority(), o2.getPriority());
-                            }
-                        });
-                        break;
-                    case 1: // Sort by deadline
-                        Collections.sort(arrayList, new Comparator<ToDo>() {
-                            @Override
-                            public int compare(ToDo o1, ToDo o2) {
-                                // Compare ToDo items by deadline
-                                return o1.getDeadline().compareTo(o2.getDeadline());
-                            }
-                        });
-                        break;
-                }
-                // Refresh the ListView to display the sorted list
-                adapter.notifyDataSetChanged();
+            public void onItemSelected(AdapterView<?> parent, View view, final int position, long id) {
+                // Sort on the next frame, together with any other pending change
+                refreshScheduler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        sortList(position);
+                    }
+                });
             }
 
             @Override
@@ -105,4 +93,39 @@ public class AllTasksActivity extends AppCompatActivity {
             }
         });
     }
+
+    @Override
+    protected void onDestroy() {
+        // Release the database connection owned by this activity
+        toDoListDB.close();
+        super.onDestroy();
+    }
+
+    /**
+     * Sorts the list according to the selected sorting option.
+     *
+     * @param position The position of the option selected in the spinner
+     */
+    private void sortList(int position) {
+        switch (position) {
+            case 0: // Sort by priority
+                Collections.sort(arrayList, new Comparator<ToDo>() {
+                    @Override
+                    public int compare(ToDo o1, ToDo o2) {
+                        // Compare ToDo items by priority
+                        return Integer.compare(o1.getPriority(), o2.getPriority());
+                    }
+                });
+                break;
+            case 1: // Sort by deadline
+                Collections.sort(arrayList, new Comparator<ToDo>() {
+                    @Override
+                    public int compare(ToDo o1, ToDo o2) {
+                        // Compare ToDo items by deadline
+                        return o1.getDeadline().compareTo(o2.getDeadline());
+                    }
+                });
+                break;
+        }
+    }
 }
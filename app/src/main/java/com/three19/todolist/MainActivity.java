@@ -34,8 +34,8 @@ public class MainActivity extends AppCompatActivity {
     ToDoListDB toDoListDB;  // Database helper
     List<ToDo> arrayList;   // List to hold ToDo items
     ToDoListAdapter adapter; // Adapter for the ListView
+    RefreshScheduler refreshScheduler; // Coalesces list changes into one refresh per frame
     ToDo selectedToDo;      // Currently selected ToDo item for editing
-    int selectedPosition;    // Position of the selected item in the list
     EditText txtName;       // EditText for entering task name
     EditText txtDeadline;
     RadioGroup radioGroupPriority;
@@ -60,6 +60,7 @@ public class MainActivity extends AppCompatActivity {
         adapter = new ToDoListAdapter(this, (ArrayList<ToDo>) arrayList);
         ListView listView = findViewById(R.id.lstView);
         listView.setAdapter(adapter);
+        refreshScheduler = new RefreshScheduler(adapter);
 
         // Set up listeners for long-click and click events on the ListView
         listView.setOnItemLongClickListener(new AdapterView.OnItemLongClickListener() {
@@ -74,7 +75,6 @@ public class MainActivity extends AppCompatActivity {
             @Override
             public void onItemClick(AdapterView<?> parent, View view, int position, long id) {
                 selectedToDo = arrayList.get(position); // Get the selected ToDo item
-                selectedPosition = position;            // Store its position
                 txtName.setText(selectedToDo.getName()); // Display the name in the EditText
 
                 // Change button from Add to Update
@@ -121,15 +121,19 @@ public class MainActivity extends AppCompatActivity {
 
                 if (addBtn.getText().toString().equalsIgnoreCase("Add")) {
                     // Add new ToDo item to the database and list
-                    ToDo toDo = new ToDo();
+                    final ToDo toDo = new ToDo();
                     toDo.setName(name);
                     toDo.setDeadline(deadline);
                     toDo.setPriority(priority);
 
                     // Assuming `toDoListDB` has an appropriate method to add a ToDo object
                     toDoListDB.add(toDo); // Update this line to match your DB method
-                    arrayList.add(toDo);
-                    adapter.notifyDataSetChanged(); // Refresh the ListView
+                    refreshScheduler.post(new Runnable() {
+                        @Override
+                        public void run() {
+                            arrayList.add(toDo); // Added and shown on the next frame
+                        }
+                    });
 
                     // Clear input fields
                     txtName.setText("");
@@ -162,6 +166,12 @@ public class MainActivity extends AppCompatActivity {
         });
     }
 
+    @Override
+    protected void onDestroy() {
+        toDoListDB.close(); // Release the database connection owned by this activity
+        super.onDestroy();
+    }
+
     /**
      * Removes the item from the list after confirming with the user.
      *
@@ -174,9 +184,13 @@ public class MainActivity extends AppCompatActivity {
         alert.setPositiveButton("YES", new DialogInterface.OnClickListener() {
             @Override
             public void onClick(DialogInterface dialog, int which) {
-                ToDo toDo = arrayList.get(position); // Get the ToDo item to delete
-                arrayList.remove(position);           // Remove it from the list
-                adapter.notifyDataSetChanged();       // Refresh the ListView
+                final ToDo toDo = arrayList.get(position); // Get the ToDo item to delete
+                refreshScheduler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        arrayList.remove(toDo);       // Remove it from the list on the next frame
+                    }
+                });
                 toDoListDB.remove(toDo.getId());     // Remove it from the database
                 reset();                              // Reset UI
             }
@@ -197,7 +211,6 @@ public class MainActivity extends AppCompatActivity {
         txtName.setText("");        // Clear the EditText
         addBtn.setText("Add");      // Reset button text to "Add"
         selectedToDo = null;        // Clear selected ToDo
-        selectedPosition = -1;       // Reset selected position
     }
 
     /**
@@ -213,9 +226,8 @@ public class MainActivity extends AppCompatActivity {
             selectedToDo.setDeadline(deadline);   // Set the new deadline for the ToDo item
             selectedToDo.setPriority(priority);    // Set the new priority for the ToDo item
 
-            // Update the list in memory and refresh the ListView to reflect changes
-            arrayList.set(selectedPosition, selectedToDo); // Replace the old item in the list
-            adapter.notifyDataSetChanged();        // Notify the adapter to refresh the ListView
+            // The item is updated in place, so only a refresh of the ListView is needed
+            refreshScheduler.requestRefresh();     // Refresh the ListView on the next frame
 
             // Update the ToDo item in the database
             toDoListDB.update(selectedToDo);       // Persist the updated item in the database
@@ -229,7 +241,6 @@ public class MainActivity extends AppCompatActivity {
 
             addBtn.setText("Add");                 // Change the button text back to "Add" for new entries
             selectedToDo = null;                   // Clear the reference to the selected ToDo item
-            selectedPosition = -1;                 // Reset the selected position index
         }
     }
 
@@ -252,7 +263,7 @@ class ToDoListAdapter extends ArrayAdapter<ToDo> {
         }
 
         TextView name = convertView.findViewById(android.R.id.text1); // Get the TextView for the task name
-        name.setText(toDo.getName()); // Set the task name
+        name.setText(toDo.getName()); // Set the task name, decoding it from the name arena only now
 
         // Set the background color based on priority using the new method
         convertView.setBackgroundColor(toDo.getColor());
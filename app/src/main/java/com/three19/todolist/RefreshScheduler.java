@@ -0,0 +1,278 @@
+package com.three19.todolist;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.view.Choreographer;
+import android.widget.BaseAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Batches model changes for an adapter and applies them at most once per display frame.
+ * Instead of calling notifyDataSetChanged after every change, callers post the change here;
+ * all changes posted before the next frame are applied together followed by a single
+ * notifyDataSetChanged, so a burst of changes (bulk import, sync) costs one relayout.
+ *
+ * When more than maxPendingChanges are waiting, background threads block until the next
+ * frame drains the queue. The main thread cannot post faster than its own frames run, so
+ * its overflow is only counted and its changes still wait for the next frame.
+ */
+public class RefreshScheduler {
+
+    /**
+     * Source of frame callbacks and time, replaceable in tests.
+     */
+    public interface FrameClock {
+        // Runs the callback on the main thread at the start of the next frame
+        void postFrameCallback(Runnable callback);
+
+        // Current time in nanoseconds, on the same time base as the frames
+        long nanoTime();
+    }
+
+    // Default number of pending changes before producers are pushed back
+    public static final int DEFAULT_MAX_PENDING_CHANGES = 256;
+
+    private final BaseAdapter adapter;
+    private final FrameClock frameClock;
+    private final int maxPendingChanges;
+
+    // Guards every field below
+    private final Object lock = new Object();
+
+    // Changes waiting for the next frame, in the order they were posted
+    private List<Runnable> pendingChanges = new ArrayList<>();
+
+    // True when a refresh is needed on the next frame
+    private boolean dirty;
+
+    // True while a frame callback is posted and not yet run
+    private boolean frameScheduled;
+
+    // Time of the oldest change not yet shown, used for latency metrics
+    private long firstRequestNanos;
+
+    // Metrics
+    private int requestCount;
+    private int refreshCount;
+    private int backpressureCount;
+    private long totalLatencyNanos;
+    private long maxLatencyNanos;
+
+    private final Runnable frameCallback = new Runnable() {
+        @Override
+        public void run() {
+            synchronized (lock) {
+                frameScheduled = false;
+            }
+            flush();
+        }
+    };
+
+    public RefreshScheduler(BaseAdapter adapter) {
+        this(adapter, createDefaultFrameClock(), DEFAULT_MAX_PENDING_CHANGES);
+    }
+
+    public RefreshScheduler(BaseAdapter adapter, FrameClock frameClock, int maxPendingChanges) {
+        if (maxPendingChanges < 1) {
+            throw new IllegalArgumentException("maxPendingChanges must be at least 1");
+        }
+        this.adapter = adapter;
+        this.frameClock = frameClock;
+        this.maxPendingChanges = maxPendingChanges;
+    }
+
+    /**
+     * Queues a change to the adapter's data, to be applied on the next frame right before
+     * the adapter is notified. May be called from any thread.
+     * @param change The change to apply on the main thread.
+     */
+    public void post(Runnable change) {
+        synchronized (lock) {
+            if (pendingChanges.size() >= maxPendingChanges) {
+                backpressureCount++;
+
+                // The main thread cannot outrun its own frames, so it queues past the limit
+                if (!isMainThread()) {
+                    while (pendingChanges.size() >= maxPendingChanges) {
+                        try {
+                            lock.wait();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            break; // Queue the change anyway rather than lose it
+                        }
+                    }
+                }
+            }
+            pendingChanges.add(change);
+            markDirty();
+        }
+    }
+
+    /**
+     * Requests a refresh on the next frame for data that was changed in place.
+     * May be called from any thread.
+     */
+    public void requestRefresh() {
+        synchronized (lock) {
+            markDirty();
+        }
+    }
+
+    /**
+     * Applies all pending changes and notifies the adapter immediately, if anything is pending.
+     * Must be called on the main thread.
+     */
+    public void flush() {
+        List<Runnable> changes;
+        long requestedAt;
+
+        synchronized (lock) {
+            if (!dirty) {
+                return;
+            }
+            changes = pendingChanges;
+            pendingChanges = new ArrayList<>();
+            requestedAt = firstRequestNanos;
+            dirty = false;
+            lock.notifyAll(); // Wake producers blocked on a full queue
+        }
+
+        for (Runnable change : changes) {
+            change.run();
+        }
+        adapter.notifyDataSetChanged();
+
+        long latency = frameClock.nanoTime() - requestedAt;
+        synchronized (lock) {
+            refreshCount++;
+            totalLatencyNanos += latency;
+            maxLatencyNanos = Math.max(maxLatencyNanos, latency);
+        }
+    }
+
+    // Must be called while holding lock
+    private void markDirty() {
+        requestCount++;
+        if (!dirty) {
+            dirty = true;
+            firstRequestNanos = frameClock.nanoTime();
+        }
+        if (!frameScheduled) {
+            frameScheduled = true;
+            frameClock.postFrameCallback(frameCallback);
+        }
+    }
+
+    private static boolean isMainThread() {
+        return Looper.myLooper() == Looper.getMainLooper();
+    }
+
+    // Getter for the number of changes and refresh requests received
+    public int getRequestCount() {
+        synchronized (lock) {
+            return requestCount;
+        }
+    }
+
+    // Getter for the number of times the adapter was notified
+    public int getRefreshCount() {
+        synchronized (lock) {
+            return refreshCount;
+        }
+    }
+
+    // Getter for the number of refreshes avoided by coalescing requests
+    public int getFramesSaved() {
+        synchronized (lock) {
+            return requestCount - refreshCount - (dirty ? 1 : 0);
+        }
+    }
+
+    // Getter for the number of times a producer hit the pending change limit
+    public int getBackpressureCount() {
+        synchronized (lock) {
+            return backpressureCount;
+        }
+    }
+
+    // Getter for the longest time between a request and the refresh that showed it
+    public long getMaxLatencyNanos() {
+        synchronized (lock) {
+            return maxLatencyNanos;
+        }
+    }
+
+    // Getter for the average time between the first request of a batch and its refresh
+    public long getAverageLatencyNanos() {
+        synchronized (lock) {
+            return refreshCount == 0 ? 0 : totalLatencyNanos / refreshCount;
+        }
+    }
+
+    /**
+     * Creates a frame clock backed by Choreographer, or by a main-thread Handler posting
+     * roughly every 16 ms on devices older than Jelly Bean.
+     * @return The frame clock to use on this device.
+     */
+    static FrameClock createDefaultFrameClock() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            return new ChoreographerFrameClock();
+        }
+        return new HandlerFrameClock();
+    }
+
+    /**
+     * Frame clock that runs callbacks on vsync through Choreographer.
+     */
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    static class ChoreographerFrameClock implements FrameClock {
+        // Choreographer instances are per looper, so always use the main thread's
+        private final Choreographer choreographer;
+
+        ChoreographerFrameClock() {
+            if (!isMainThread()) {
+                throw new IllegalStateException("RefreshScheduler must be created on the main thread");
+            }
+            choreographer = Choreographer.getInstance();
+        }
+
+        @Override
+        public void postFrameCallback(final Runnable callback) {
+            choreographer.postFrameCallback(new Choreographer.FrameCallback() {
+                @Override
+                public void doFrame(long frameTimeNanos) {
+                    callback.run();
+                }
+            });
+        }
+
+        @Override
+        public long nanoTime() {
+            return System.nanoTime();
+        }
+    }
+
+    /**
+     * Frame clock for devices without Choreographer, approximating a 60 Hz display.
+     */
+    static class HandlerFrameClock implements FrameClock {
+        private static final long FRAME_MILLIS = 16;
+
+        private final Handler handler = new Handler(Looper.getMainLooper());
+
+        @Override
+        public void postFrameCallback(Runnable callback) {
+            handler.postDelayed(callback, FRAME_MILLIS);
+        }
+
+        @Override
+        public long nanoTime() {
+            return SystemClock.uptimeMillis() * 1000000L;
+        }
+    }
+}
@@ -12,7 +12,7 @@ import android.database.sqlite.SQLiteOpenHelper;
 public class DBConnection extends SQLiteOpenHelper {
 
     // Database version, increment this when schema changes
-    private static final int DATABASE_VERSION = 4;
+    private static final int DATABASE_VERSION = 6;
 
     // Database name
     private static final String DATABASE_NAME = "data";
@@ -37,9 +37,21 @@ public class DBConnection extends SQLiteOpenHelper {
         // Create the todolist table
         String createTableSQL = "CREATE TABLE todolist ("
                 + "id INTEGER PRIMARY KEY AUTOINCREMENT, "  // Unique ID for each ToDo item
-                + "name TEXT NOT NULL"                        // Name/description of the ToDo item
+                + "name TEXT NOT NULL, "                      // Name/description of the ToDo item
+                + "deadline TEXT, "                           // Deadline formatted as "yyyy-MM-dd"
+                + "priority INTEGER NOT NULL DEFAULT 0, "     // Priority level (1 = Low, 2 = Medium, 3 = High)
+                + "recurrence TEXT"                           // Recurrence rule, NULL for one-off tasks
                 + ");";
         db.execSQL(createTableSQL);
+
+        // Create the side table holding completed occurrences of recurring tasks.
+        // Only completed occurrences get a row; everything else is expanded on demand.
+        String createCompletionTableSQL = "CREATE TABLE occurrence_completion ("
+                + "todo_id INTEGER NOT NULL, "              // ID of the recurring ToDo item
+                + "day INTEGER NOT NULL, "                  // Occurrence day, as days since 1970-01-01
+                + "PRIMARY KEY (todo_id, day)"
+                + ");";
+        db.execSQL(createCompletionTableSQL);
     }
 
     /**
@@ -54,6 +66,7 @@ public class DBConnection extends SQLiteOpenHelper {
     public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
         // Drop the existing table and create a new one
         db.execSQL("DROP TABLE IF EXISTS todolist");
+        db.execSQL("DROP TABLE IF EXISTS occurrence_completion");
         onCreate(db);
         // Consider using ALTER TABLE for future version upgrades to avoid data loss
     }
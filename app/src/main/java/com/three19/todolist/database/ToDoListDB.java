@@ -2,17 +2,29 @@ package com.three19.todolist.database;
 
 import android.content.ContentValues;
 import android.content.Context;
+import android.database.CharArrayBuffer;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.util.Log;
 
+import com.three19.todolist.model.MergedOccurrenceIterator;
+import com.three19.todolist.model.NameArena;
+import com.three19.todolist.model.OccurrenceIterator;
+import com.three19.todolist.model.RecurrenceRule;
 import com.three19.todolist.model.ToDo;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Database helper class for managing ToDo list operations in SQLite.
+ * Each activity owns its own instance and closes it in onDestroy. Within an instance, the
+ * SQLiteDatabase returned by SQLiteOpenHelper is shared by every call, including calls from
+ * several threads, so methods leave it open; closing it in one call would break the others.
  */
 public class ToDoListDB extends DBConnection {
 
@@ -26,7 +38,7 @@ public class ToDoListDB extends DBConnection {
      * Adds a new ToDo item to the database.
      *
      * @param toDo The ToDo object to be added.
-     * @return The newly created ToDo object with its assigned ID. If insertion fails, the ID will be set to -1.
+     * @return The newly created ToDo object with its assigned ID. If insertion fails, the ID is left unchanged.
      */
     public ToDo add(ToDo toDo) {
         SQLiteDatabase db = this.getWritableDatabase();
@@ -43,8 +55,6 @@ public class ToDoListDB extends DBConnection {
             }
         } catch (Exception e) {
             Log.e(TAG, "Error adding ToDo: " + e.getMessage());
-        } finally {
-            db.close(); // Ensure the database is closed to prevent memory leaks
         }
 
         return toDo; // Return the ToDo object with its ID
@@ -52,74 +62,246 @@ public class ToDoListDB extends DBConnection {
 
     /**
      * Updates an existing ToDo item in the database.
+     * If the deadline or recurrence rule changes, the item's completed occurrences are deleted,
+     * since they were recorded against the old series and may not be occurrences any more.
      * @param toDo The ToDo object containing updated values.
+     * @return True if a row was updated.
      */
-    public void update(ToDo toDo) {
+    public boolean update(ToDo toDo) {
         SQLiteDatabase db = this.getWritableDatabase();
+        String[] idArgs = new String[]{String.valueOf(toDo.getId())};
 
+        db.beginTransaction();
         try {
+            boolean seriesChanged = false;
+            try (Cursor cursor = db.rawQuery("SELECT deadline, recurrence FROM todolist WHERE id = ?", idArgs)) {
+                if (cursor.moveToFirst()) {
+                    seriesChanged = !equal(cursor.getString(0), toDo.getDeadline())
+                            || !equal(cursor.getString(1), toDo.getRecurrence());
+                }
+            }
+
             ContentValues values = toDo.getContentValuesToUpdate();
-            int rowsAffected = db.update("todolist", values, "id = ?", new String[]{String.valueOf(toDo.getId())});
+            int rowsAffected = db.update("todolist", values, "id = ?", idArgs);
+            if (seriesChanged) {
+                db.delete("occurrence_completion", "todo_id = ?", idArgs);
+            }
+            db.setTransactionSuccessful();
 
             if (rowsAffected > 0) {
                 Log.i(TAG, "ToDo updated successfully: " + toDo.getName());
-            } else {
-                Log.e(TAG, "Failed to update ToDo: " + toDo.getName());
+                return true;
             }
+            Log.e(TAG, "Failed to update ToDo: " + toDo.getName());
         } catch (Exception e) {
             Log.e(TAG, "Error updating ToDo: " + e.getMessage());
         } finally {
-            db.close();
+            db.endTransaction();
         }
+        return false;
     }
 
     /**
      * Removes a ToDo item from the database by its ID.
      * @param id The unique identifier of the ToDo item to remove.
+     * @return True if a row was removed.
      */
-    public void remove(int id) {
+    public boolean remove(int id) {
         SQLiteDatabase db = this.getWritableDatabase();
 
+        // The item and its completed occurrences are removed together or not at all
+        db.beginTransaction();
         try {
             int rowsAffected = db.delete("todolist", "id = ?", new String[]{String.valueOf(id)});
+            db.delete("occurrence_completion", "todo_id = ?", new String[]{String.valueOf(id)});
+            db.setTransactionSuccessful();
             if (rowsAffected > 0) {
                 Log.i(TAG, "ToDo removed successfully with ID: " + id);
-            } else {
-                Log.e(TAG, "No ToDo found with ID: " + id);
+                return true;
             }
+            Log.e(TAG, "No ToDo found with ID: " + id);
         } catch (Exception e) {
             Log.e(TAG, "Error removing ToDo: " + e.getMessage());
         } finally {
-            db.close();
+            db.endTransaction();
         }
+        return false;
+    }
+
+    // Null-safe string comparison, for API levels without java.util.Objects
+    private static boolean equal(String a, String b) {
+        return a == null ? b == null : a.equals(b);
     }
 
     /**
      * Retrieves a list of all ToDo items from the database.
+     * Names are deduplicated into a NameArena shared by the returned items and are only
+     * turned into Strings when read.
      * @return A list of ToDo objects.
      */
     public List<ToDo> getList() {
         List<ToDo> toDoList = new ArrayList<>();
         SQLiteDatabase db = this.getReadableDatabase();
         String selectQuery = "SELECT * FROM todolist";
+        NameArena nameArena = new NameArena();
+        CharArrayBuffer nameBuffer = new CharArrayBuffer(64);
 
         try (Cursor cursor = db.rawQuery(selectQuery, null)) {
             if (cursor.moveToFirst()) {
                 do {
                     ToDo toDo = new ToDo();
-                    toDo.parse(cursor);
+                    toDo.parse(cursor, nameArena, nameBuffer);
                     toDoList.add(toDo);
                 } while (cursor.moveToNext());
-                Log.i(TAG, "Retrieved " + toDoList.size() + " ToDo items.");
+                Log.i(TAG, "Retrieved " + toDoList.size() + " ToDo items with "
+                        + nameArena.getDistinctCount() + " distinct names.");
             } else {
                 Log.e(TAG, "No ToDo items found.");
             }
         } catch (Exception e) {
             Log.e(TAG, "Error retrieving ToDo list: " + e.getMessage());
-        } finally {
-            db.close();
         }
 
         return toDoList;
     }
+
+    /**
+     * Marks a single occurrence of a recurring ToDo item as completed or not completed.
+     * @param toDoId   The unique identifier of the recurring ToDo item.
+     * @param epochDay The day of the occurrence, as days since 1970-01-01.
+     * @param completed True to mark the occurrence as done, false to clear it.
+     */
+    public void setOccurrenceCompleted(int toDoId, int epochDay, boolean completed) {
+        SQLiteDatabase db = this.getWritableDatabase();
+
+        try {
+            if (completed) {
+                ContentValues values = new ContentValues();
+                values.put("todo_id", toDoId);
+                values.put("day", epochDay);
+                db.insertWithOnConflict("occurrence_completion", null, values, SQLiteDatabase.CONFLICT_IGNORE);
+            } else {
+                db.delete("occurrence_completion", "todo_id = ? AND day = ?",
+                        new String[]{String.valueOf(toDoId), String.valueOf(epochDay)});
+            }
+            Log.i(TAG, "Occurrence of ToDo " + toDoId + " on day " + epochDay + " completed: " + completed);
+        } catch (Exception e) {
+            Log.e(TAG, "Error updating occurrence: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Lazily expands the occurrences of a recurring ToDo item inside a date window.
+     * Only the completion rows inside the window are read from the database.
+     * @param toDo    The recurring ToDo item; its deadline is the first occurrence.
+     * @param fromDay First epoch day of the window (inclusive).
+     * @param toDay   Last epoch day of the window (inclusive).
+     * @return An iterator over the occurrences, or null if the item does not recur or has an invalid rule.
+     */
+    public OccurrenceIterator getOccurrences(ToDo toDo, int fromDay, int toDay) {
+        if (!toDo.isRecurring()) {
+            return null;
+        }
+        List<ToDo> single = Collections.singletonList(toDo);
+        int[] completedDays = getCompletedDays(single, fromDay, toDay).get(toDo.getId());
+        return createIterator(toDo, fromDay, toDay, completedDays);
+    }
+
+    /**
+     * Lazily expands the occurrences of all recurring ToDo items inside a date window, in day order.
+     * The completion rows of all items are read with a single query; occurrences themselves are
+     * only computed as the returned iterator advances.
+     * @param toDoList The ToDo items to expand; items without a valid recurrence rule are skipped.
+     * @param fromDay  First epoch day of the window (inclusive).
+     * @param toDay    Last epoch day of the window (inclusive).
+     * @return An iterator over the occurrences in the window, ordered by day.
+     */
+    public MergedOccurrenceIterator getOccurrences(List<ToDo> toDoList, int fromDay, int toDay) {
+        List<ToDo> recurring = new ArrayList<>();
+        for (ToDo toDo : toDoList) {
+            if (toDo.isRecurring()) {
+                recurring.add(toDo);
+            }
+        }
+
+        Map<Integer, int[]> completedDays = getCompletedDays(recurring, fromDay, toDay);
+        List<OccurrenceIterator> iterators = new ArrayList<>();
+        for (ToDo toDo : recurring) {
+            OccurrenceIterator iterator = createIterator(toDo, fromDay, toDay, completedDays.get(toDo.getId()));
+            if (iterator != null) {
+                iterators.add(iterator);
+            }
+        }
+        return new MergedOccurrenceIterator(iterators);
+    }
+
+    /**
+     * Creates an occurrence iterator for a ToDo item, validating its rule and start date.
+     * @param completedDays Sorted completed epoch days inside the window, or null if there are none.
+     * @return The iterator, or null if the item does not recur or has an invalid rule.
+     */
+    private OccurrenceIterator createIterator(ToDo toDo, int fromDay, int toDay, int[] completedDays) {
+        RecurrenceRule rule;
+        try {
+            rule = RecurrenceRule.parse(toDo.getRecurrence());
+            if (rule == null) {
+                return null;
+            }
+            RecurrenceRule.toEpochDay(toDo.getDeadline()); // Validate the start date
+        } catch (IllegalArgumentException e) {
+            Log.e(TAG, "Invalid recurrence for ToDo " + toDo.getId() + ": " + e.getMessage());
+            return null;
+        }
+
+        return new OccurrenceIterator(toDo, rule, fromDay, toDay,
+                completedDays != null ? completedDays : new int[0]);
+    }
+
+    /**
+     * Reads the completed occurrence days of several ToDo items inside a date window in one query.
+     * @param toDoList The ToDo items whose completions are read.
+     * @return Sorted epoch days of the completed occurrences, keyed by ToDo ID.
+     *         Items without completions in the window have no entry.
+     */
+    private Map<Integer, int[]> getCompletedDays(List<ToDo> toDoList, int fromDay, int toDay) {
+        Map<Integer, int[]> completedDays = new HashMap<>();
+        if (toDoList.isEmpty()) {
+            return completedDays;
+        }
+
+        // IDs are integers, so they are inlined to avoid SQLite's bound parameter limit
+        StringBuilder ids = new StringBuilder();
+        for (ToDo toDo : toDoList) {
+            if (ids.length() > 0) {
+                ids.append(',');
+            }
+            ids.append(toDo.getId());
+        }
+        SQLiteDatabase db = this.getReadableDatabase();
+        String selectQuery = "SELECT todo_id, day FROM occurrence_completion WHERE todo_id IN (" + ids
+                + ") AND day BETWEEN ? AND ? ORDER BY todo_id, day";
+
+        try (Cursor cursor = db.rawQuery(selectQuery, new String[]{String.valueOf(fromDay), String.valueOf(toDay)})) {
+            // Rows arrive grouped by todo_id, so each group is copied out when the next one starts
+            int[] days = new int[cursor.getCount()];
+            int count = 0;
+            int currentId = 0;
+            while (cursor.moveToNext()) {
+                int toDoId = cursor.getInt(0);
+                if (count > 0 && toDoId != currentId) {
+                    completedDays.put(currentId, Arrays.copyOf(days, count));
+                    count = 0;
+                }
+                currentId = toDoId;
+                days[count++] = cursor.getInt(1);
+            }
+            if (count > 0) {
+                completedDays.put(currentId, Arrays.copyOf(days, count));
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error retrieving completed occurrences: " + e.getMessage());
+        }
+
+        return completedDays;
+    }
 }
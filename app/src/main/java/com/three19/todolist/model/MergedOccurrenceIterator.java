@@ -0,0 +1,77 @@
+package com.three19.todolist.model;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Merges the occurrence iterators of several recurring ToDo items into a single iterator
+ * ordered by day. Only the next occurrence of each item is held at a time, so the first
+ * occurrences of a window are available without expanding the rest of it.
+ * Occurrences on the same day keep the order of the source iterators.
+ */
+public class MergedOccurrenceIterator implements Iterator<Occurrence> {
+
+    /**
+     * The next occurrence of one source iterator.
+     */
+    private static class Head {
+        final Occurrence occurrence;
+        final OccurrenceIterator source;
+
+        // Position of the source in the input list, used to break ties between equal days
+        final int order;
+
+        Head(Occurrence occurrence, OccurrenceIterator source, int order) {
+            this.occurrence = occurrence;
+            this.source = source;
+            this.order = order;
+        }
+    }
+
+    private final PriorityQueue<Head> heads;
+
+    /**
+     * Creates an iterator merging the given occurrence iterators.
+     * @param sources The iterators to merge; each must yield occurrences in day order.
+     */
+    public MergedOccurrenceIterator(List<OccurrenceIterator> sources) {
+        heads = new PriorityQueue<>(Math.max(1, sources.size()), new Comparator<Head>() {
+            @Override
+            public int compare(Head h1, Head h2) {
+                int byDay = Integer.compare(h1.occurrence.getEpochDay(), h2.occurrence.getEpochDay());
+                return byDay != 0 ? byDay : Integer.compare(h1.order, h2.order);
+            }
+        });
+        for (int i = 0; i < sources.size(); i++) {
+            OccurrenceIterator source = sources.get(i);
+            if (source.hasNext()) {
+                heads.add(new Head(source.next(), source, i));
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !heads.isEmpty();
+    }
+
+    @Override
+    public Occurrence next() {
+        Head head = heads.poll();
+        if (head == null) {
+            throw new NoSuchElementException();
+        }
+        if (head.source.hasNext()) {
+            heads.add(new Head(head.source.next(), head.source, head.order));
+        }
+        return head.occurrence;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,228 @@
+package com.three19.todolist.model;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Shared storage for ToDo names loaded from the database.
+ * Each distinct name is encoded once as UTF-8 into a direct ByteBuffer and identified by an
+ * integer handle, so repeated names ("Standup", "Review PR") cost a single copy and no
+ * String objects are created until a name is actually displayed.
+ *
+ * On a desktop JVM the direct buffer lives outside the Java heap. On ART, allocateDirect is
+ * backed by a non-movable array on the Java heap, so on a device the saving comes from
+ * deduplication and compact UTF-8 storage, not from moving names off-heap.
+ *
+ * An arena is filled while a list is loaded and only read afterwards; it is not thread-safe.
+ */
+public class NameArena {
+
+    private static final int INITIAL_CAPACITY = 4096;
+    private static final int INITIAL_TABLE_SIZE = 256;
+
+    // Handle used for ToDo items without a name
+    public static final int NO_NAME = -1;
+
+    // Entries stored back to back as [length:int][UTF-8 bytes]
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(INITIAL_CAPACITY);
+
+    // Number of bytes used in the buffer
+    private int used;
+
+    // Open-addressing dedup table: handle + 1 for each slot, 0 when empty
+    private int[] slots = new int[INITIAL_TABLE_SIZE];
+
+    // Hash of the entry stored in each slot, kept to avoid re-hashing on growth
+    private int[] slotHashes = new int[INITIAL_TABLE_SIZE];
+
+    // Number of distinct names stored
+    private int distinctCount;
+
+    // Reused buffer for encoding the name being interned
+    private byte[] scratch = new byte[64];
+
+    /**
+     * Stores a name and returns its handle. A name that is already present is not stored again.
+     * @param chars  Characters of the name.
+     * @param length Number of characters to read from chars.
+     * @return The handle of the stored name.
+     */
+    public int intern(char[] chars, int length) {
+        int byteLength = encode(chars, length);
+        int hash = hash(scratch, byteLength);
+
+        int mask = slots.length - 1;
+        int slot = hash & mask;
+        while (slots[slot] != 0) {
+            int handle = slots[slot] - 1;
+            if (slotHashes[slot] == hash && matches(handle, byteLength)) {
+                return handle;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        int handle = append(byteLength);
+        slots[slot] = handle + 1;
+        slotHashes[slot] = hash;
+        distinctCount++;
+        if (distinctCount * 2 > slots.length) {
+            growTable();
+        }
+        return handle;
+    }
+
+    /**
+     * Stores a name and returns its handle.
+     * @param name The name to store, may be null.
+     * @return The handle of the stored name, or NO_NAME if name is null.
+     */
+    public int intern(String name) {
+        if (name == null) {
+            return NO_NAME;
+        }
+        return intern(name.toCharArray(), name.length());
+    }
+
+    /**
+     * Decodes a stored name into a new String.
+     * @param handle A handle returned by intern.
+     * @return The name, or null for NO_NAME.
+     */
+    public String getString(int handle) {
+        if (handle == NO_NAME) {
+            return null;
+        }
+
+        int length = buffer.getInt(handle);
+        char[] chars = new char[length];
+        int count = 0;
+        int position = handle + 4;
+        int end = position + length;
+
+        while (position < end) {
+            int b = buffer.get(position++) & 0xFF;
+            if (b < 0x80) {
+                chars[count++] = (char) b;
+            } else if (b < 0xE0) {
+                chars[count++] = (char) (((b & 0x1F) << 6) | (buffer.get(position++) & 0x3F));
+            } else if (b < 0xF0) {
+                chars[count++] = (char) (((b & 0x0F) << 12) | ((buffer.get(position++) & 0x3F) << 6)
+                        | (buffer.get(position++) & 0x3F));
+            } else {
+                int codePoint = ((b & 0x07) << 18) | ((buffer.get(position++) & 0x3F) << 12)
+                        | ((buffer.get(position++) & 0x3F) << 6) | (buffer.get(position++) & 0x3F);
+                count += Character.toChars(codePoint, chars, count);
+            }
+        }
+
+        return new String(chars, 0, count);
+    }
+
+    // Getter for the number of distinct names stored
+    public int getDistinctCount() {
+        return distinctCount;
+    }
+
+    // Getter for the number of arena bytes in use
+    public int getByteSize() {
+        return used;
+    }
+
+    /**
+     * Encodes characters as UTF-8 into the scratch buffer.
+     * @return The number of bytes written.
+     */
+    private int encode(char[] chars, int length) {
+        if (scratch.length < length * 3) {
+            scratch = new byte[length * 3];
+        }
+
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            char c = chars[i];
+            if (c < 0x80) {
+                scratch[count++] = (byte) c;
+            } else if (c < 0x800) {
+                scratch[count++] = (byte) (0xC0 | (c >> 6));
+                scratch[count++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(chars[i + 1])) {
+                int codePoint = Character.toCodePoint(c, chars[++i]);
+                scratch[count++] = (byte) (0xF0 | (codePoint >> 18));
+                scratch[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                scratch[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                scratch[count++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else {
+                scratch[count++] = (byte) (0xE0 | (c >> 12));
+                scratch[count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                scratch[count++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return count;
+    }
+
+    // FNV-1a hash of the encoded bytes
+    private static int hash(byte[] bytes, int length) {
+        int hash = 0x811C9DC5;
+        for (int i = 0; i < length; i++) {
+            hash ^= bytes[i] & 0xFF;
+            hash *= 0x01000193;
+        }
+        return hash;
+    }
+
+    private boolean matches(int handle, int byteLength) {
+        if (buffer.getInt(handle) != byteLength) {
+            return false;
+        }
+        int position = handle + 4;
+        for (int i = 0; i < byteLength; i++) {
+            if (buffer.get(position + i) != scratch[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copies the scratch bytes to the end of the arena, growing it if needed.
+     * @return The handle (offset) of the new entry.
+     */
+    private int append(int byteLength) {
+        int required = used + 4 + byteLength;
+        if (required > buffer.capacity()) {
+            ByteBuffer grown = ByteBuffer.allocateDirect(Math.max(required, buffer.capacity() * 2));
+            ByteBuffer existing = buffer.duplicate();
+            existing.position(0);
+            existing.limit(used);
+            grown.put(existing);
+            buffer = grown;
+        }
+
+        int handle = used;
+        buffer.putInt(handle, byteLength);
+        for (int i = 0; i < byteLength; i++) {
+            buffer.put(handle + 4 + i, scratch[i]);
+        }
+        used = required;
+        return handle;
+    }
+
+    private void growTable() {
+        int[] oldSlots = slots;
+        int[] oldHashes = slotHashes;
+        slots = new int[oldSlots.length * 2];
+        slotHashes = new int[oldSlots.length * 2];
+
+        int mask = slots.length - 1;
+        for (int i = 0; i < oldSlots.length; i++) {
+            if (oldSlots[i] == 0) {
+                continue;
+            }
+            int slot = oldHashes[i] & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = oldSlots[i];
+            slotHashes[slot] = oldHashes[i];
+        }
+    }
+}
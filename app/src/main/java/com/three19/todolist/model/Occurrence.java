@@ -0,0 +1,42 @@
+package com.three19.todolist.model;
+
+/**
+ * A single occurrence of a recurring ToDo item on a specific day.
+ * Occurrences are computed on demand and never stored as todolist rows.
+ */
+public class Occurrence {
+    // The recurring ToDo item this occurrence belongs to
+    private final ToDo toDo;
+
+    // Day of the occurrence, as days since 1970-01-01
+    private final int epochDay;
+
+    // Whether this occurrence has been marked as done
+    private final boolean completed;
+
+    public Occurrence(ToDo toDo, int epochDay, boolean completed) {
+        this.toDo = toDo;
+        this.epochDay = epochDay;
+        this.completed = completed;
+    }
+
+    // Getter for the ToDo item
+    public ToDo getToDo() {
+        return toDo;
+    }
+
+    // Getter for the epoch day
+    public int getEpochDay() {
+        return epochDay;
+    }
+
+    // Getter for the date, formatted as "yyyy-MM-dd"
+    public String getDate() {
+        return RecurrenceRule.formatEpochDay(epochDay);
+    }
+
+    // Getter for the completion state
+    public boolean isCompleted() {
+        return completed;
+    }
+}
@@ -0,0 +1,69 @@
+package com.three19.todolist.model;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazily expands the occurrences of a recurring ToDo item that fall inside a date window.
+ * The iterator jumps straight to the first occurrence in the window, so its cost depends
+ * only on the number of visible occurrences, not on how long the series has been running.
+ */
+public class OccurrenceIterator implements Iterator<Occurrence> {
+
+    private final ToDo toDo;
+    private final RecurrenceRule rule;
+    private final int startDay;
+    private final int toDay;
+
+    // Sorted epoch days of completed occurrences inside the window
+    private final int[] completedDays;
+
+    // Index of the next occurrence in the series
+    private int index;
+
+    // Epoch day of the next occurrence
+    private int nextDay;
+
+    /**
+     * Creates an iterator over the occurrences of a ToDo item between two days (inclusive).
+     *
+     * @param toDo          The recurring ToDo item; its deadline is the first occurrence.
+     * @param rule          The parsed recurrence rule of the item.
+     * @param fromDay       First epoch day of the visible window.
+     * @param toDay         Last epoch day of the visible window.
+     * @param completedDays Sorted epoch days of completed occurrences in the window.
+     */
+    public OccurrenceIterator(ToDo toDo, RecurrenceRule rule, int fromDay, int toDay, int[] completedDays) {
+        this.toDo = toDo;
+        this.rule = rule;
+        this.startDay = RecurrenceRule.toEpochDay(toDo.getDeadline());
+        this.toDay = toDay;
+        this.completedDays = completedDays;
+        this.index = rule.firstIndexOnOrAfter(startDay, fromDay);
+        this.nextDay = rule.occurrenceDay(startDay, index);
+    }
+
+    @Override
+    public boolean hasNext() {
+        // Integer.MAX_VALUE marks an occurrence beyond the representable range
+        return nextDay <= toDay && nextDay != Integer.MAX_VALUE && rule.isWithinLimits(index, nextDay);
+    }
+
+    @Override
+    public Occurrence next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Occurrence occurrence = new Occurrence(toDo, nextDay,
+                Arrays.binarySearch(completedDays, nextDay) >= 0);
+        index++;
+        nextDay = rule.occurrenceDay(startDay, index);
+        return occurrence;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+}
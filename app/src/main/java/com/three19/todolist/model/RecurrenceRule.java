@@ -0,0 +1,255 @@
+package com.three19.todolist.model;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Repeat rule for a recurring ToDo item, written in a subset of the iCalendar RRULE syntax:
+ * "FREQ=DAILY|WEEKLY|MONTHLY[;INTERVAL=n][;COUNT=n][;UNTIL=yyyy-MM-dd]".
+ * The first occurrence is the task's deadline. Days are handled as epoch days
+ * (days since 1970-01-01) so occurrences can be computed arithmetically.
+ */
+public class RecurrenceRule {
+
+    // How often the task repeats
+    public enum Frequency { DAILY, WEEKLY, MONTHLY }
+
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    // Largest accepted INTERVAL, keeping occurrence arithmetic far from int overflow
+    public static final int MAX_INTERVAL = 1000;
+
+    private final Frequency frequency;
+
+    // Repeat every n periods (e.g. INTERVAL=2 with WEEKLY is every other week)
+    private final int interval;
+
+    // Maximum number of occurrences, or 0 when unlimited (an explicit COUNT is at least 1)
+    private final int count;
+
+    // Last allowed epoch day (inclusive), or Integer.MAX_VALUE when unlimited
+    private final int untilDay;
+
+    public RecurrenceRule(Frequency frequency, int interval, int count, int untilDay) {
+        if (frequency == null || count < 0) {
+            throw new IllegalArgumentException("Invalid recurrence rule");
+        }
+        if (interval < 1 || interval > MAX_INTERVAL) {
+            throw new IllegalArgumentException("INTERVAL must be between 1 and " + MAX_INTERVAL + ": " + interval);
+        }
+        this.frequency = frequency;
+        this.interval = interval;
+        this.count = count;
+        this.untilDay = untilDay;
+    }
+
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getUntilDay() {
+        return untilDay;
+    }
+
+    /**
+     * Parses a rule string such as "FREQ=WEEKLY;INTERVAL=2;UNTIL=2024-12-31".
+     * @param rule The rule string, may be null or empty.
+     * @return The parsed rule, or null if the string is null or empty.
+     * @throws IllegalArgumentException If the string is not a valid rule.
+     */
+    public static RecurrenceRule parse(String rule) {
+        if (rule == null || rule.trim().isEmpty()) {
+            return null;
+        }
+
+        Frequency frequency = null;
+        int interval = 1;
+        int count = 0;
+        int untilDay = Integer.MAX_VALUE;
+
+        for (String part : rule.trim().split(";")) {
+            int separator = part.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid recurrence rule part: " + part);
+            }
+            String key = part.substring(0, separator).trim().toUpperCase(Locale.US);
+            String value = part.substring(separator + 1).trim();
+            try {
+                switch (key) {
+                    case "FREQ":
+                        frequency = Frequency.valueOf(value.toUpperCase(Locale.US));
+                        break;
+                    case "INTERVAL":
+                        interval = Integer.parseInt(value);
+                        break;
+                    case "COUNT":
+                        count = Integer.parseInt(value);
+                        if (count < 1) {
+                            throw new IllegalArgumentException("COUNT must be at least 1: " + value);
+                        }
+                        break;
+                    case "UNTIL":
+                        untilDay = toEpochDay(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unsupported recurrence rule part: " + key);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid value for " + key + ": " + value);
+            }
+        }
+
+        if (frequency == null) {
+            throw new IllegalArgumentException("Recurrence rule is missing FREQ: " + rule);
+        }
+        return new RecurrenceRule(frequency, interval, count, untilDay);
+    }
+
+    /**
+     * Computes the epoch day of the n-th occurrence (0-based) for a series starting on startDay.
+     * Monthly occurrences on days that a month lacks (e.g. the 31st) fall on that month's last day.
+     * @param startDay Epoch day of the first occurrence.
+     * @param index    Occurrence index, 0 being the first occurrence.
+     * @return The epoch day of the occurrence, or Integer.MAX_VALUE if it lies beyond the int range.
+     */
+    public int occurrenceDay(int startDay, int index) {
+        switch (frequency) {
+            case DAILY:
+                return saturate(startDay + (long) index * interval);
+            case WEEKLY:
+                return saturate(startDay + (long) index * interval * 7);
+            case MONTHLY:
+            default:
+                Calendar start = toCalendar(startDay);
+                int dayOfMonth = start.get(Calendar.DAY_OF_MONTH);
+                start.set(Calendar.DAY_OF_MONTH, 1);
+                long months = (long) index * interval;
+                if (months > Integer.MAX_VALUE / 2) {
+                    return Integer.MAX_VALUE;
+                }
+                start.add(Calendar.MONTH, (int) months);
+                start.set(Calendar.DAY_OF_MONTH, Math.min(dayOfMonth, start.getActualMaximum(Calendar.DAY_OF_MONTH)));
+                return saturate(start.getTimeInMillis() / MILLIS_PER_DAY);
+        }
+    }
+
+    /**
+     * Finds the index of the first occurrence falling on or after the given day,
+     * without walking through the earlier occurrences.
+     * @param startDay Epoch day of the first occurrence.
+     * @param fromDay  Epoch day to search from.
+     * @return The index of the first occurrence on or after fromDay.
+     */
+    public int firstIndexOnOrAfter(int startDay, int fromDay) {
+        if (fromDay <= startDay) {
+            return 0;
+        }
+
+        int index;
+        switch (frequency) {
+            case DAILY:
+                index = ceilDiv((long) fromDay - startDay, interval);
+                break;
+            case WEEKLY:
+                index = ceilDiv((long) fromDay - startDay, interval * 7);
+                break;
+            case MONTHLY:
+            default:
+                Calendar start = toCalendar(startDay);
+                Calendar from = toCalendar(fromDay);
+                int months = (from.get(Calendar.YEAR) - start.get(Calendar.YEAR)) * 12
+                        + from.get(Calendar.MONTH) - start.get(Calendar.MONTH);
+                index = months / interval;
+                break;
+        }
+
+        // The estimate can land one period early for monthly rules
+        while (occurrenceDay(startDay, index) < fromDay) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Checks whether the occurrence with the given index and day is still part of the series.
+     * @param index Occurrence index, 0 being the first occurrence.
+     * @param day   Epoch day of the occurrence.
+     * @return True if neither COUNT nor UNTIL has been exceeded.
+     */
+    public boolean isWithinLimits(int index, int day) {
+        return (count == 0 || index < count) && day <= untilDay;
+    }
+
+    /**
+     * Converts a "yyyy-MM-dd" date to an epoch day.
+     * @param date The date string.
+     * @return Days since 1970-01-01.
+     * @throws IllegalArgumentException If the date cannot be parsed.
+     */
+    public static int toEpochDay(String date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Invalid date: null");
+        }
+        try {
+            return (int) (dateFormat().parse(date).getTime() / MILLIS_PER_DAY);
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("Invalid date: " + date);
+        }
+    }
+
+    /**
+     * Formats an epoch day as "yyyy-MM-dd".
+     * @param epochDay Days since 1970-01-01.
+     * @return The formatted date.
+     */
+    public static String formatEpochDay(int epochDay) {
+        return dateFormat().format(toCalendar(epochDay).getTime());
+    }
+
+    private static Calendar toCalendar(int epochDay) {
+        Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"), Locale.US);
+        calendar.setTimeInMillis(epochDay * MILLIS_PER_DAY);
+        return calendar;
+    }
+
+    private static SimpleDateFormat dateFormat() {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd", Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        format.setLenient(false);
+        return format;
+    }
+
+    private static int ceilDiv(long value, int divisor) {
+        return saturate((value + divisor - 1) / divisor);
+    }
+
+    private static int saturate(long value) {
+        return (int) Math.min(value, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("FREQ=").append(frequency);
+        if (interval != 1) {
+            builder.append(";INTERVAL=").append(interval);
+        }
+        if (count != 0) {
+            builder.append(";COUNT=").append(count);
+        }
+        if (untilDay != Integer.MAX_VALUE) {
+            builder.append(";UNTIL=").append(formatEpochDay(untilDay));
+        }
+        return builder.toString();
+    }
+}
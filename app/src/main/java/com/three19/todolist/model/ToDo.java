@@ -1,6 +1,7 @@
 package com.three19.todolist.model;
 
 import android.content.ContentValues;
+import android.database.CharArrayBuffer;
 import android.database.Cursor;
 import android.graphics.Color;
 
@@ -12,15 +13,24 @@ public class ToDo {
     // Unique identifier for the ToDo item
     private int id;
 
-    // Name/description of the ToDo item
+    // Name/description of the ToDo item, null while the name lives in nameArena
     private String name;
 
+    // Shared arena holding the name when the item was loaded from the database
+    private NameArena nameArena;
+
+    // Handle of the name inside nameArena
+    private int nameHandle = NameArena.NO_NAME;
+
     // Deadline for completing the ToDo item, formatted as "yyyy-MM-dd"
     private String deadline;
 
     // Priority level of the ToDo item (1 = Low, 2 = Medium, 3 = High)
     private int priority;
 
+    // Recurrence rule such as "FREQ=WEEKLY;INTERVAL=2", or null for a one-off task
+    private String recurrence;
+
     // Getter for ID
     public int getId() {
         return id;
@@ -31,14 +41,19 @@ public class ToDo {
         id = value;
     }
 
-    // Getter for name
+    // Getter for name, decoding it from the arena on demand
     public String getName() {
+        if (name == null && nameArena != null) {
+            return nameArena.getString(nameHandle);
+        }
         return name;
     }
 
-    // Setter for name
+    // Setter for name, detaching the item from its arena
     public void setName(String value) {
         name = value;
+        nameArena = null;
+        nameHandle = NameArena.NO_NAME;
     }
 
     // Getter for deadline
@@ -61,6 +76,21 @@ public class ToDo {
         priority = value;
     }
 
+    // Getter for recurrence rule
+    public String getRecurrence() {
+        return recurrence;
+    }
+
+    // Setter for recurrence rule
+    public void setRecurrence(String value) {
+        recurrence = value;
+    }
+
+    // Returns true if the ToDo item repeats according to a recurrence rule
+    public boolean isRecurring() {
+        return recurrence != null && !recurrence.isEmpty();
+    }
+
     // New method to get the color based on priority
     public int getColor() {
         switch (priority) {
@@ -80,6 +110,7 @@ public class ToDo {
         values.put("name", getName());
         values.put("deadline", getDeadline());
         values.put("priority", getPriority());
+        values.put("recurrence", getRecurrence());
         return values;
     }
 
@@ -93,6 +124,7 @@ public class ToDo {
         values.put("name", getName());
         values.put("deadline", getDeadline());
         values.put("priority", getPriority());
+        values.put("recurrence", getRecurrence());
         return values;
     }
 
@@ -101,10 +133,37 @@ public class ToDo {
      * @param cursor Cursor pointing to the database row containing ToDo item details.
      */
     public void parse(Cursor cursor) {
-        setId(cursor.getInt(cursor.getColumnIndex("id")));
         setName(cursor.getString(cursor.getColumnIndex("name")));
+        parseFields(cursor);
+    }
+
+    /**
+     * Parses the data from a Cursor, storing the name in a shared arena instead of a String.
+     * The name is copied through a reused buffer, so no String is created until getName is called.
+     * @param cursor Cursor pointing to the database row containing ToDo item details.
+     * @param arena  Arena shared by all items of the list being loaded.
+     * @param buffer Reusable buffer for copying the name out of the cursor.
+     */
+    public void parse(Cursor cursor, NameArena arena, CharArrayBuffer buffer) {
+        int nameIndex = cursor.getColumnIndex("name");
+        name = null;
+        if (cursor.isNull(nameIndex)) {
+            nameArena = null;
+            nameHandle = NameArena.NO_NAME;
+        } else {
+            cursor.copyStringToBuffer(nameIndex, buffer);
+            nameArena = arena;
+            nameHandle = arena.intern(buffer.data, buffer.sizeCopied);
+        }
+        parseFields(cursor);
+    }
+
+    // Parses every column except the name
+    private void parseFields(Cursor cursor) {
+        setId(cursor.getInt(cursor.getColumnIndex("id")));
         setDeadline(cursor.getString(cursor.getColumnIndex("deadline")));
         setPriority(cursor.getInt(cursor.getColumnIndex("priority")));
+        setRecurrence(cursor.getString(cursor.getColumnIndex("recurrence")));
     }
 
     /**
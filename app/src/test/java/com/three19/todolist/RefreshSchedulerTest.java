@@ -0,0 +1,186 @@
+package com.three19.todolist;
+
+import android.database.DataSetObserver;
+import android.widget.ArrayAdapter;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for RefreshScheduler, driven by a manual frame clock.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class RefreshSchedulerTest {
+
+    private static final long FRAME_NANOS = 16666667;
+
+    /**
+     * Frame clock whose frames only run when the test calls doFrame.
+     */
+    private static class ManualFrameClock implements RefreshScheduler.FrameClock {
+        private final List<Runnable> callbacks = new ArrayList<>();
+        private long now;
+
+        @Override
+        public synchronized void postFrameCallback(Runnable callback) {
+            callbacks.add(callback);
+        }
+
+        @Override
+        public synchronized long nanoTime() {
+            return now;
+        }
+
+        synchronized void advance(long nanos) {
+            now += nanos;
+        }
+
+        // Advances to the next frame and runs the callbacks posted before it
+        void doFrame() {
+            List<Runnable> due;
+            synchronized (this) {
+                now += FRAME_NANOS;
+                due = new ArrayList<>(callbacks);
+                callbacks.clear();
+            }
+            for (Runnable callback : due) {
+                callback.run();
+            }
+        }
+    }
+
+    private final List<String> items = new ArrayList<>();
+    private ManualFrameClock clock;
+    private int notifications;
+    private ArrayAdapter<String> adapter;
+
+    @Before
+    public void setUp() {
+        clock = new ManualFrameClock();
+        adapter = new ArrayAdapter<>(RuntimeEnvironment.application, android.R.layout.simple_list_item_1, items);
+        adapter.registerDataSetObserver(new DataSetObserver() {
+            @Override
+            public void onChanged() {
+                notifications++;
+            }
+        });
+    }
+
+    private Runnable addItem(final String item) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                items.add(item);
+            }
+        };
+    }
+
+    @Test
+    public void burst_isAppliedOnceOnNextFrame() {
+        RefreshScheduler scheduler = new RefreshScheduler(adapter, clock, 1000);
+        for (int i = 0; i < 100; i++) {
+            scheduler.post(addItem("Task " + i));
+        }
+
+        assertEquals(0, notifications);
+        assertTrue(items.isEmpty());
+
+        clock.doFrame();
+
+        assertEquals(1, notifications);
+        assertEquals(100, items.size());
+        assertEquals("Task 99", items.get(99));
+        assertEquals(100, scheduler.getRequestCount());
+        assertEquals(1, scheduler.getRefreshCount());
+        assertEquals(99, scheduler.getFramesSaved());
+        assertEquals(FRAME_NANOS, scheduler.getMaxLatencyNanos());
+    }
+
+    @Test
+    public void idleFrame_doesNotNotify() {
+        RefreshScheduler scheduler = new RefreshScheduler(adapter, clock, 10);
+        scheduler.requestRefresh();
+        clock.doFrame();
+        clock.doFrame();
+
+        assertEquals(1, notifications);
+        assertEquals(0, scheduler.getFramesSaved());
+    }
+
+    @Test
+    public void latency_isMeasuredFromOldestRequest() {
+        RefreshScheduler scheduler = new RefreshScheduler(adapter, clock, 10);
+        clock.advance(5000000);
+        scheduler.requestRefresh();
+        clock.advance(5000000);
+        scheduler.requestRefresh();
+        clock.doFrame(); // Frame at 26.7 ms, the first request was at 5 ms
+
+        assertEquals(5000000 + FRAME_NANOS, scheduler.getMaxLatencyNanos());
+        assertEquals(5000000 + FRAME_NANOS, scheduler.getAverageLatencyNanos());
+    }
+
+    @Test
+    public void mainThreadOverflow_waitsForNextFrame() {
+        RefreshScheduler scheduler = new RefreshScheduler(adapter, clock, 4);
+        for (int i = 0; i < 5; i++) {
+            scheduler.post(addItem("Task " + i));
+        }
+
+        // The fifth change overflowed the queue but is still held until the frame
+        assertEquals(0, notifications);
+        assertTrue(items.isEmpty());
+        assertEquals(1, scheduler.getBackpressureCount());
+
+        clock.doFrame();
+        assertEquals(1, notifications);
+        assertEquals(5, items.size());
+    }
+
+    @Test
+    public void backgroundProducer_blocksUntilFrameDrainsQueue() throws Exception {
+        final RefreshScheduler scheduler = new RefreshScheduler(adapter, clock, 4);
+        final CountDownLatch done = new CountDownLatch(1);
+        Thread producer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < 5; i++) {
+                    scheduler.post(addItem("Task " + i));
+                }
+                done.countDown();
+            }
+        });
+        producer.start();
+
+        // The producer counts the backpressure and starts waiting while holding the
+        // scheduler's lock, so once the count is visible the producer is blocked
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (scheduler.getBackpressureCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(1, scheduler.getBackpressureCount());
+        assertEquals(1, done.getCount());
+        assertTrue(items.isEmpty());
+
+        clock.doFrame();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        producer.join();
+        assertEquals(4, items.size());
+
+        clock.doFrame();
+        assertEquals(5, items.size());
+        assertEquals(2, notifications);
+    }
+}
@@ -0,0 +1,175 @@
+package com.three19.todolist.database;
+
+import android.database.Cursor;
+
+import com.three19.todolist.model.MergedOccurrenceIterator;
+import com.three19.todolist.model.Occurrence;
+import com.three19.todolist.model.OccurrenceIterator;
+import com.three19.todolist.model.RecurrenceRule;
+import com.three19.todolist.model.ToDo;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for recurring tasks and occurrence completion, run against SQLite through Robolectric.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class ToDoListDBRecurrenceTest {
+
+    private ToDoListDB toDoListDB;
+
+    @Before
+    public void setUp() {
+        toDoListDB = new ToDoListDB(RuntimeEnvironment.application);
+    }
+
+    private ToDo addToDo(String name, String deadline, String recurrence) {
+        ToDo toDo = new ToDo();
+        toDo.setName(name);
+        toDo.setDeadline(deadline);
+        toDo.setPriority(2);
+        toDo.setRecurrence(recurrence);
+        return toDoListDB.add(toDo);
+    }
+
+    private static int day(String date) {
+        return RecurrenceRule.toEpochDay(date);
+    }
+
+    private static List<String> describe(Iterator<? extends Occurrence> occurrences) {
+        List<String> result = new ArrayList<>();
+        while (occurrences.hasNext()) {
+            Occurrence occurrence = occurrences.next();
+            result.add(occurrence.getToDo().getName() + " " + occurrence.getDate()
+                    + (occurrence.isCompleted() ? "*" : ""));
+        }
+        return result;
+    }
+
+    private int countCompletionRows(int toDoId) {
+        try (Cursor cursor = toDoListDB.getReadableDatabase().rawQuery(
+                "SELECT COUNT(*) FROM occurrence_completion WHERE todo_id = ?",
+                new String[]{String.valueOf(toDoId)})) {
+            cursor.moveToFirst();
+            return cursor.getInt(0);
+        }
+    }
+
+    @Test
+    public void recurrence_roundTripsThroughParse() {
+        ToDo added = addToDo("Standup", "2024-01-01", "FREQ=WEEKLY;INTERVAL=2");
+        addToDo("Pay rent", "2024-01-05", null);
+
+        List<ToDo> list = toDoListDB.getList();
+        assertEquals(2, list.size());
+        for (ToDo toDo : list) {
+            if (toDo.getId() == added.getId()) {
+                assertEquals("FREQ=WEEKLY;INTERVAL=2", toDo.getRecurrence());
+                assertTrue(toDo.isRecurring());
+            } else {
+                assertNull(toDo.getRecurrence());
+                assertFalse(toDo.isRecurring());
+            }
+        }
+    }
+
+    @Test
+    public void setOccurrenceCompleted_marksAndClearsOccurrence() {
+        ToDo toDo = addToDo("Standup", "2024-01-01", "FREQ=DAILY");
+        toDoListDB.setOccurrenceCompleted(toDo.getId(), day("2024-01-02"), true);
+        toDoListDB.setOccurrenceCompleted(toDo.getId(), day("2024-01-02"), true); // Idempotent
+
+        OccurrenceIterator iterator = toDoListDB.getOccurrences(toDo, day("2024-01-01"), day("2024-01-03"));
+        assertEquals(Arrays.asList("Standup 2024-01-01", "Standup 2024-01-02*", "Standup 2024-01-03"),
+                describe(iterator));
+        assertEquals(1, countCompletionRows(toDo.getId()));
+
+        toDoListDB.setOccurrenceCompleted(toDo.getId(), day("2024-01-02"), false);
+        assertEquals(0, countCompletionRows(toDo.getId()));
+    }
+
+    @Test
+    public void getOccurrences_groupsCompletionsByTask() {
+        ToDo daily = addToDo("Standup", "2024-01-01", "FREQ=DAILY;INTERVAL=2");
+        ToDo weekly = addToDo("Review PR", "2024-01-02", "FREQ=WEEKLY");
+        addToDo("Pay rent", "2024-01-03", null);
+        addToDo("Broken", "2024-01-03", "FREQ=YEARLY"); // Invalid rules are skipped
+
+        toDoListDB.setOccurrenceCompleted(daily.getId(), day("2024-01-03"), true);
+        toDoListDB.setOccurrenceCompleted(weekly.getId(), day("2024-01-09"), true);
+        toDoListDB.setOccurrenceCompleted(weekly.getId(), day("2023-12-26"), true); // Outside the window
+
+        MergedOccurrenceIterator occurrences = toDoListDB.getOccurrences(toDoListDB.getList(),
+                day("2024-01-01"), day("2024-01-09"));
+
+        assertEquals(Arrays.asList(
+                "Standup 2024-01-01",
+                "Review PR 2024-01-02",
+                "Standup 2024-01-03*",
+                "Standup 2024-01-05",
+                "Standup 2024-01-07",
+                "Standup 2024-01-09",
+                "Review PR 2024-01-09*"), describe(occurrences));
+    }
+
+    @Test
+    public void getOccurrences_returnsNullForOneOffTask() {
+        ToDo toDo = addToDo("Pay rent", "2024-01-05", null);
+        assertNull(toDoListDB.getOccurrences(toDo, day("2024-01-01"), day("2024-12-31")));
+    }
+
+    @Test
+    public void update_keepsCompletionsWhenSeriesIsUnchanged() {
+        ToDo toDo = addToDo("Standup", "2024-01-01", "FREQ=DAILY");
+        toDoListDB.setOccurrenceCompleted(toDo.getId(), day("2024-01-02"), true);
+
+        toDo.setName("Daily standup");
+        toDo.setPriority(3);
+        assertTrue(toDoListDB.update(toDo));
+        assertEquals(1, countCompletionRows(toDo.getId()));
+    }
+
+    @Test
+    public void update_deletesCompletionsWhenDeadlineChanges() {
+        ToDo toDo = addToDo("Standup", "2024-01-01", "FREQ=WEEKLY");
+        toDoListDB.setOccurrenceCompleted(toDo.getId(), day("2024-01-08"), true);
+
+        toDo.setDeadline("2024-01-03");
+        assertTrue(toDoListDB.update(toDo));
+        assertEquals(0, countCompletionRows(toDo.getId()));
+    }
+
+    @Test
+    public void update_deletesCompletionsWhenRuleChanges() {
+        ToDo toDo = addToDo("Standup", "2024-01-01", "FREQ=DAILY");
+        toDoListDB.setOccurrenceCompleted(toDo.getId(), day("2024-01-03"), true);
+
+        toDo.setRecurrence("FREQ=DAILY;INTERVAL=2");
+        assertTrue(toDoListDB.update(toDo));
+        assertEquals(0, countCompletionRows(toDo.getId()));
+    }
+
+    @Test
+    public void remove_deletesCompletions() {
+        ToDo toDo = addToDo("Standup", "2024-01-01", "FREQ=DAILY");
+        toDoListDB.setOccurrenceCompleted(toDo.getId(), day("2024-01-01"), true);
+        toDoListDB.setOccurrenceCompleted(toDo.getId(), day("2024-01-02"), true);
+        assertEquals(2, countCompletionRows(toDo.getId()));
+
+        assertTrue(toDoListDB.remove(toDo.getId()));
+        assertEquals(0, countCompletionRows(toDo.getId()));
+    }
+}
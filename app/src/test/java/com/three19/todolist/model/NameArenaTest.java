@@ -0,0 +1,177 @@
+package com.three19.todolist.model;
+
+import com.three19.todolist.workload.ToDoWorkloadGenerator;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for NameArena. The footprint benchmarks compare the arena against one
+ * String per row (as produced by cursor.getString) at 100k and 1M rows using live class
+ * histograms; they are slow and only run with "./gradlew test -Pbenchmark=true".
+ */
+public class NameArenaTest {
+
+    @Test
+    public void intern_deduplicatesNames() {
+        NameArena arena = new NameArena();
+        int first = arena.intern("Standup");
+        int second = arena.intern(new String("Standup"));
+        int other = arena.intern("Review PR");
+
+        assertEquals(first, second);
+        assertTrue(first != other);
+        assertEquals(2, arena.getDistinctCount());
+        assertEquals("Standup", arena.getString(first));
+        assertEquals("Review PR", arena.getString(other));
+    }
+
+    @Test
+    public void intern_roundTripsNonAsciiNames() {
+        NameArena arena = new NameArena();
+        String[] names = {"", "Caf\u00e9", "\u65e5\u672c\u8a9e\u306e\u30bf\u30b9\u30af", "Emoji \ud83d\ude80 launch", "a"};
+        int[] handles = new int[names.length];
+        for (int i = 0; i < names.length; i++) {
+            handles[i] = arena.intern(names[i]);
+        }
+        for (int i = 0; i < names.length; i++) {
+            assertEquals(names[i], arena.getString(handles[i]));
+        }
+        assertNull(arena.getString(arena.intern((String) null)));
+    }
+
+    @Test
+    public void intern_growsPastInitialCapacity() {
+        NameArena arena = new NameArena();
+        int[] handles = new int[10000];
+        for (int i = 0; i < handles.length; i++) {
+            handles[i] = arena.intern("Task number " + i);
+        }
+        for (int i = 0; i < handles.length; i++) {
+            assertEquals("Task number " + i, arena.getString(handles[i]));
+        }
+        assertEquals(handles.length, arena.getDistinctCount());
+    }
+
+    @Test
+    public void footprint_100kRows() {
+        Assume.assumeTrue(Boolean.getBoolean("benchmark"));
+        compareFootprint(100000);
+    }
+
+    @Test
+    public void footprint_1MRows() {
+        Assume.assumeTrue(Boolean.getBoolean("benchmark"));
+        compareFootprint(1000000);
+    }
+
+    // Histogram row holding the totals over all classes
+    private static final String TOTAL = "Total";
+
+    // Histogram rows reported for each phase
+    private static final String[] REPORTED_CLASSES = {
+            "java.lang.String", "[B", "[C", "java.nio.DirectByteBuffer", "[I", TOTAL};
+
+    /**
+     * Loads the same generated names as separate Strings and into an arena, takes a class
+     * histogram of the live heap after each phase and prints the growth of the String,
+     * char[]/byte[] and DirectByteBuffer rows. Checks that the arena, counting both its heap
+     * objects and its direct buffer, retains less than the Strings.
+     */
+    private static void compareFootprint(int rows) {
+        ToDoWorkloadGenerator generator = new ToDoWorkloadGenerator(42);
+        char[][] source = new char[rows][];
+        long totalChars = 0;
+        for (int i = 0; i < rows; i++) {
+            source[i] = generator.nextName().toCharArray();
+            totalChars += source[i].length;
+        }
+
+        Map<String, long[]> baseline = classHistogram();
+        Assume.assumeTrue(baseline != null);
+        String[] strings = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            strings[i] = new String(source[i]); // What cursor.getString returns for every row
+        }
+        Map<String, long[]> stringPhase = diff(classHistogram(), baseline);
+        assertEquals(rows, strings.length);
+        strings = null;
+
+        baseline = classHistogram();
+        NameArena arena = new NameArena();
+        int[] handles = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            handles[i] = arena.intern(source[i], source[i].length);
+        }
+        Map<String, long[]> arenaPhase = diff(classHistogram(), baseline);
+
+        StringBuilder report = new StringBuilder(String.format(Locale.US,
+                "%d rows, %d distinct names, live heap growth per phase:%n", rows, arena.getDistinctCount()));
+        report.append(String.format(Locale.US, "  %-26s %12s %12s %12s %12s%n",
+                "class", "String #", "String KB", "arena #", "arena KB"));
+        for (String className : REPORTED_CLASSES) {
+            long[] stringRow = stringPhase.get(className);
+            long[] arenaRow = arenaPhase.get(className);
+            report.append(String.format(Locale.US, "  %-26s %12d %12.1f %12d %12.1f%n", className,
+                    stringRow[0], stringRow[1] / 1024.0, arenaRow[0], arenaRow[1] / 1024.0));
+        }
+        report.append(String.format(Locale.US, "  arena direct buffer contents: %.1f KB%n",
+                arena.getByteSize() / 1024.0));
+        System.out.print(report);
+
+        assertEquals(new String(source[rows - 1]), arena.getString(handles[rows - 1]));
+        assertTrue(arena.getDistinctCount() < rows);
+        assertTrue(arena.getByteSize() < totalChars);
+        assertTrue(arenaPhase.get(TOTAL)[1] + arena.getByteSize() < stringPhase.get(TOTAL)[1]);
+    }
+
+    /**
+     * Runs the HotSpot GC.class_histogram diagnostic command, which collects garbage first
+     * so only live objects are counted.
+     * @return Instance count and byte size per class name, or null if the command is not
+     * available on this JVM.
+     */
+    private static Map<String, long[]> classHistogram() {
+        String output;
+        try {
+            output = (String) ManagementFactory.getPlatformMBeanServer().invoke(
+                    new ObjectName("com.sun.management:type=DiagnosticCommand"), "gcClassHistogram",
+                    new Object[] {new String[0]}, new String[] {String[].class.getName()});
+        } catch (JMException e) {
+            return null;
+        }
+
+        // Rows look like "   1:   5209   243712  [B (java.base@17)", the last line like "Total 30090 1316272"
+        Map<String, long[]> histogram = new HashMap<>();
+        for (String line : output.split("\n")) {
+            String[] columns = line.trim().split("\\s+");
+            if (columns.length >= 4 && columns[0].endsWith(":")) {
+                histogram.put(columns[3], new long[] {Long.parseLong(columns[1]), Long.parseLong(columns[2])});
+            } else if (columns.length == 3 && columns[0].equals(TOTAL)) {
+                histogram.put(TOTAL, new long[] {Long.parseLong(columns[1]), Long.parseLong(columns[2])});
+            }
+        }
+        return histogram;
+    }
+
+    // Growth of each reported class between two histograms
+    private static Map<String, long[]> diff(Map<String, long[]> after, Map<String, long[]> before) {
+        Map<String, long[]> growth = new HashMap<>();
+        for (String className : REPORTED_CLASSES) {
+            long[] a = after.containsKey(className) ? after.get(className) : new long[2];
+            long[] b = before.containsKey(className) ? before.get(className) : new long[2];
+            growth.put(className, new long[] {a[0] - b[0], a[1] - b[1]});
+        }
+        return growth;
+    }
+}
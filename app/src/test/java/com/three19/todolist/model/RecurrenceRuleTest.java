@@ -0,0 +1,133 @@
+package com.three19.todolist.model;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for recurrence rule parsing and lazy occurrence expansion.
+ */
+public class RecurrenceRuleTest {
+
+    private static List<String> expand(String rule, String deadline, String from, String to, int... completed) {
+        ToDo toDo = new ToDo();
+        toDo.setDeadline(deadline);
+        toDo.setRecurrence(rule);
+
+        OccurrenceIterator iterator = new OccurrenceIterator(toDo, RecurrenceRule.parse(rule),
+                RecurrenceRule.toEpochDay(from), RecurrenceRule.toEpochDay(to), completed);
+        List<String> dates = new ArrayList<>();
+        while (iterator.hasNext()) {
+            Occurrence occurrence = iterator.next();
+            dates.add(occurrence.getDate() + (occurrence.isCompleted() ? "*" : ""));
+        }
+        return dates;
+    }
+
+    @Test
+    public void parse_roundTrips() {
+        RecurrenceRule rule = RecurrenceRule.parse("freq=weekly; INTERVAL=2;UNTIL=2024-12-31");
+        assertEquals(RecurrenceRule.Frequency.WEEKLY, rule.getFrequency());
+        assertEquals(2, rule.getInterval());
+        assertEquals("FREQ=WEEKLY;INTERVAL=2;UNTIL=2024-12-31", rule.toString());
+        assertNull(RecurrenceRule.parse(""));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_rejectsMissingFrequency() {
+        RecurrenceRule.parse("INTERVAL=2");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_rejectsZeroCount() {
+        RecurrenceRule.parse("FREQ=DAILY;COUNT=0");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void toEpochDay_rejectsNull() {
+        RecurrenceRule.toEpochDay(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_rejectsOverflowingWeeklyInterval() {
+        RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=400000000");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_rejectsOverflowingDailyInterval() {
+        RecurrenceRule.parse("FREQ=DAILY;INTERVAL=2147483647");
+    }
+
+    @Test
+    public void largestInterval_findsNextOccurrence() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=" + RecurrenceRule.MAX_INTERVAL);
+        assertEquals(1, rule.firstIndexOnOrAfter(0, 1));
+        assertEquals(7 * RecurrenceRule.MAX_INTERVAL, rule.occurrenceDay(0, 1));
+        assertEquals(Integer.MAX_VALUE, rule.occurrenceDay(0, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void daily_expandsOnlyTheWindow() {
+        // A series that started years ago only yields the days inside the window
+        assertEquals(Arrays.asList("2024-03-01", "2024-03-03", "2024-03-05"),
+                expand("FREQ=DAILY;INTERVAL=2", "2020-01-02", "2024-03-01", "2024-03-05"));
+    }
+
+    @Test
+    public void weekly_respectsCount() {
+        assertEquals(Arrays.asList("2024-01-08", "2024-01-15"),
+                expand("FREQ=WEEKLY;COUNT=3", "2024-01-01", "2024-01-05", "2024-12-31"));
+    }
+
+    @Test
+    public void monthly_clampsToLastDayOfMonth() {
+        assertEquals(Arrays.asList("2024-01-31", "2024-02-29", "2024-03-31", "2024-04-30"),
+                expand("FREQ=MONTHLY;UNTIL=2024-04-30", "2024-01-31", "2024-01-01", "2024-12-31"));
+    }
+
+    @Test
+    public void monthly_startsInsideWindow() {
+        assertEquals(Arrays.asList("2024-06-15"),
+                expand("FREQ=MONTHLY", "2023-01-15", "2024-05-16", "2024-06-30"));
+    }
+
+    @Test
+    public void completedDays_areMarked() {
+        int day = RecurrenceRule.toEpochDay("2024-01-02");
+        assertEquals(Arrays.asList("2024-01-01", "2024-01-02*", "2024-01-03"),
+                expand("FREQ=DAILY", "2024-01-01", "2024-01-01", "2024-01-03", day));
+    }
+
+    @Test
+    public void merged_interleavesByDayWithoutExpandingWindow() {
+        ToDo daily = new ToDo();
+        daily.setName("Standup");
+        daily.setDeadline("2024-01-01");
+        daily.setRecurrence("FREQ=DAILY;INTERVAL=2");
+        ToDo weekly = new ToDo();
+        weekly.setName("Review PR");
+        weekly.setDeadline("2024-01-03");
+        weekly.setRecurrence("FREQ=WEEKLY");
+
+        // A window of several million days is only expanded as far as it is read
+        int from = RecurrenceRule.toEpochDay("2024-01-01");
+        int to = from + 5000000;
+        List<OccurrenceIterator> sources = Arrays.asList(
+                new OccurrenceIterator(daily, RecurrenceRule.parse(daily.getRecurrence()), from, to, new int[0]),
+                new OccurrenceIterator(weekly, RecurrenceRule.parse(weekly.getRecurrence()), from, to, new int[0]));
+        MergedOccurrenceIterator merged = new MergedOccurrenceIterator(sources);
+
+        List<String> dates = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Occurrence occurrence = merged.next();
+            dates.add(occurrence.getToDo().getName() + " " + occurrence.getDate());
+        }
+        assertEquals(Arrays.asList("Standup 2024-01-01", "Standup 2024-01-03", "Review PR 2024-01-03",
+                "Standup 2024-01-05"), dates);
+        assertTrue(merged.hasNext());
+    }
+}
@@ -0,0 +1,106 @@
+package com.three19.todolist.workload;
+
+/**
+ * Settings for a LoadTestDriver run: how many threads, how many operations each
+ * thread performs, and the relative weight of every operation in the mix.
+ */
+public class LoadTestConfig {
+
+    // Seed for the workload generator and operation choice
+    private long seed = 42;
+
+    // Number of concurrent worker threads
+    private int threadCount = 4;
+
+    // Number of operations performed by each worker thread
+    private int operationsPerThread = 250;
+
+    // Number of rows inserted before the timed run starts
+    private int initialRows = 100;
+
+    // Relative weights of each operation in the mix
+    private int addWeight = 40;
+    private int updateWeight = 30;
+    private int removeWeight = 10;
+    private int getListWeight = 20;
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public LoadTestConfig setSeed(long value) {
+        seed = value;
+        return this;
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    public LoadTestConfig setThreadCount(int value) {
+        threadCount = value;
+        return this;
+    }
+
+    public int getOperationsPerThread() {
+        return operationsPerThread;
+    }
+
+    public LoadTestConfig setOperationsPerThread(int value) {
+        operationsPerThread = value;
+        return this;
+    }
+
+    public int getInitialRows() {
+        return initialRows;
+    }
+
+    public LoadTestConfig setInitialRows(int value) {
+        initialRows = value;
+        return this;
+    }
+
+    /**
+     * Sets the relative weight of each operation. A weight of 0 disables the operation.
+     *
+     * @param add     Weight of ToDoListDB.add.
+     * @param update  Weight of ToDoListDB.update.
+     * @param remove  Weight of ToDoListDB.remove.
+     * @param getList Weight of ToDoListDB.getList.
+     * @return This config, for chaining.
+     */
+    public LoadTestConfig setMix(int add, int update, int remove, int getList) {
+        if (add < 0 || update < 0 || remove < 0 || getList < 0 || add + update + remove + getList == 0) {
+            throw new IllegalArgumentException("Operation weights must be non-negative and not all zero");
+        }
+        addWeight = add;
+        updateWeight = update;
+        removeWeight = remove;
+        getListWeight = getList;
+        return this;
+    }
+
+    /**
+     * Maps a number drawn uniformly from [0, total weight) to an operation.
+     * @param value The drawn number.
+     * @return The operation selected by the mix.
+     */
+    LoadTestDriver.Operation pick(int value) {
+        if (value < addWeight) {
+            return LoadTestDriver.Operation.ADD;
+        }
+        value -= addWeight;
+        if (value < updateWeight) {
+            return LoadTestDriver.Operation.UPDATE;
+        }
+        value -= updateWeight;
+        if (value < removeWeight) {
+            return LoadTestDriver.Operation.REMOVE;
+        }
+        return LoadTestDriver.Operation.GET_LIST;
+    }
+
+    int getTotalWeight() {
+        return addWeight + updateWeight + removeWeight + getListWeight;
+    }
+}
@@ -0,0 +1,236 @@
+package com.three19.todolist.workload;
+
+import com.three19.todolist.database.ToDoListDB;
+import com.three19.todolist.model.ToDo;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Replays a configurable mix of add/update/remove/getList operations against a
+ * ToDoListDB from several threads and records per-operation latencies and failures.
+ */
+public class LoadTestDriver {
+
+    /**
+     * Operations that the driver can issue against the database.
+     */
+    public enum Operation {
+        ADD, UPDATE, REMOVE, GET_LIST
+    }
+
+    private final ToDoListDB toDoListDB;
+    private final LoadTestConfig config;
+
+    // IDs of rows known to exist, shared by all workers
+    private final List<Integer> knownIds = new ArrayList<>();
+
+    public LoadTestDriver(ToDoListDB toDoListDB, LoadTestConfig config) {
+        this.toDoListDB = toDoListDB;
+        this.config = config;
+    }
+
+    /**
+     * Seeds the table with the configured number of rows, then runs all worker
+     * threads to completion.
+     * @return A report with throughput, latency percentiles and failures for the timed run.
+     * @throws Exception If a worker thread fails or is interrupted.
+     */
+    public LoadTestReport run() throws Exception {
+        ToDoWorkloadGenerator seeder = new ToDoWorkloadGenerator(config.getSeed());
+        for (int i = 0; i < config.getInitialRows(); i++) {
+            ToDo toDo = toDoListDB.add(seeder.nextToDo());
+            if (toDo.getId() > 0) {
+                knownIds.add(toDo.getId());
+            }
+        }
+
+        int threadCount = config.getThreadCount();
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Future<WorkerResult>> futures = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < threadCount; i++) {
+                // Each worker gets its own deterministic stream derived from the seed
+                final long workerSeed = config.getSeed() + 31L * (i + 1);
+                futures.add(executor.submit(new Callable<WorkerResult>() {
+                    @Override
+                    public WorkerResult call() throws Exception {
+                        start.await();
+                        return runWorker(workerSeed);
+                    }
+                }));
+            }
+
+            long startNanos = System.nanoTime();
+            start.countDown();
+
+            LoadTestReport report = new LoadTestReport();
+            for (Future<WorkerResult> future : futures) {
+                report.addResult(future.get());
+            }
+            report.setElapsedNanos(System.nanoTime() - startNanos);
+            return report;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Latency samples and failure counts collected by one worker thread.
+     */
+    static class WorkerResult {
+        // Latencies in nanoseconds of successful operations, grouped by operation
+        final Map<Operation, long[]> samples = new EnumMap<>(Operation.class);
+
+        // Number of failed operations, grouped by operation
+        final Map<Operation, Integer> errors = new EnumMap<>(Operation.class);
+    }
+
+    /**
+     * Outcome of a single operation; reused for every operation of a worker.
+     */
+    private static class Sample {
+        // The operation actually performed, which differs from the picked one on fallback
+        Operation operation;
+        long nanos;
+        boolean failed;
+    }
+
+    /**
+     * Performs the configured number of operations on the calling thread.
+     * @param seed Seed for this worker's operation and record stream.
+     * @return Latency samples of successful operations and failure counts.
+     */
+    private WorkerResult runWorker(long seed) {
+        Random random = new Random(seed);
+        ToDoWorkloadGenerator generator = new ToDoWorkloadGenerator(seed);
+        int operations = config.getOperationsPerThread();
+
+        Map<Operation, long[]> samples = new EnumMap<>(Operation.class);
+        Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+        WorkerResult result = new WorkerResult();
+        for (Operation operation : Operation.values()) {
+            samples.put(operation, new long[operations]);
+            counts.put(operation, 0);
+            result.errors.put(operation, 0);
+        }
+
+        Sample sample = new Sample();
+        for (int i = 0; i < operations; i++) {
+            perform(config.pick(random.nextInt(config.getTotalWeight())), random, generator, sample);
+
+            // Failed calls return almost instantly, so they are kept out of the latency samples
+            if (sample.failed) {
+                result.errors.put(sample.operation, result.errors.get(sample.operation) + 1);
+                continue;
+            }
+            int count = counts.get(sample.operation);
+            samples.get(sample.operation)[count] = sample.nanos;
+            counts.put(sample.operation, count + 1);
+        }
+
+        // Trim each sample array to the number of operations actually recorded
+        for (Operation operation : Operation.values()) {
+            long[] trimmed = new long[counts.get(operation)];
+            System.arraycopy(samples.get(operation), 0, trimmed, 0, trimmed.length);
+            result.samples.put(operation, trimmed);
+        }
+        return result;
+    }
+
+    /**
+     * Performs a single operation and measures how long the database call took.
+     * Update and remove fall back to add when no rows are available.
+     * @param sample Receives the operation performed, its latency and whether it failed.
+     */
+    private void perform(Operation operation, Random random, ToDoWorkloadGenerator generator, Sample sample) {
+        long start;
+        switch (operation) {
+            case UPDATE: {
+                // The id is checked out so no other worker removes the row during the update
+                Integer id = checkOutKnownId(random);
+                if (id == null) {
+                    perform(Operation.ADD, random, generator, sample);
+                    return;
+                }
+                ToDo toDo = generator.nextToDo();
+                toDo.setId(id);
+                start = System.nanoTime();
+                boolean updated = toDoListDB.update(toDo);
+                sample.nanos = System.nanoTime() - start;
+                sample.operation = Operation.UPDATE;
+                sample.failed = !updated;
+                if (updated) {
+                    returnKnownId(id);
+                }
+                return;
+            }
+            case REMOVE: {
+                Integer id = checkOutKnownId(random);
+                if (id == null) {
+                    perform(Operation.ADD, random, generator, sample);
+                    return;
+                }
+                start = System.nanoTime();
+                boolean removed = toDoListDB.remove(id);
+                sample.nanos = System.nanoTime() - start;
+                sample.operation = Operation.REMOVE;
+                sample.failed = !removed;
+                return;
+            }
+            case GET_LIST: {
+                start = System.nanoTime();
+                toDoListDB.getList();
+                sample.nanos = System.nanoTime() - start;
+                sample.operation = Operation.GET_LIST;
+                sample.failed = false;
+                return;
+            }
+            case ADD:
+            default: {
+                ToDo toDo = generator.nextToDo();
+                start = System.nanoTime();
+                toDoListDB.add(toDo);
+                sample.nanos = System.nanoTime() - start;
+                sample.operation = Operation.ADD;
+                sample.failed = toDo.getId() <= 0; // add leaves the ID unchanged on failure
+                if (!sample.failed) {
+                    returnKnownId(toDo.getId());
+                }
+            }
+        }
+    }
+
+    // Takes a random known ID out of the pool, or returns null if the pool is empty
+    private Integer checkOutKnownId(Random random) {
+        synchronized (knownIds) {
+            if (knownIds.isEmpty()) {
+                return null;
+            }
+            // Swap with the last element so removal stays O(1)
+            int index = random.nextInt(knownIds.size());
+            int last = knownIds.size() - 1;
+            Integer id = knownIds.get(index);
+            knownIds.set(index, knownIds.get(last));
+            knownIds.remove(last);
+            return id;
+        }
+    }
+
+    // Puts an ID of an existing row back into the pool
+    private void returnKnownId(int id) {
+        synchronized (knownIds) {
+            knownIds.add(id);
+        }
+    }
+}
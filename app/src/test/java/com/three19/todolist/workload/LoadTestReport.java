@@ -0,0 +1,126 @@
+package com.three19.todolist.workload;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Throughput, latency percentiles and failure counts collected by a LoadTestDriver run.
+ * Latencies and throughput only cover operations that succeeded.
+ */
+public class LoadTestReport {
+
+    // Latency samples in nanoseconds of successful operations, grouped by operation
+    private final Map<LoadTestDriver.Operation, long[]> samples = new EnumMap<>(LoadTestDriver.Operation.class);
+
+    // Number of failed operations, grouped by operation
+    private final Map<LoadTestDriver.Operation, Integer> errors = new EnumMap<>(LoadTestDriver.Operation.class);
+
+    // Wall-clock duration of the timed run
+    private long elapsedNanos;
+
+    LoadTestReport() {
+        for (LoadTestDriver.Operation operation : LoadTestDriver.Operation.values()) {
+            samples.put(operation, new long[0]);
+            errors.put(operation, 0);
+        }
+    }
+
+    /**
+     * Merges one worker's samples and failure counts into the report.
+     * @param result The samples and failures collected by the worker.
+     */
+    void addResult(LoadTestDriver.WorkerResult result) {
+        for (Map.Entry<LoadTestDriver.Operation, Integer> entry : result.errors.entrySet()) {
+            errors.put(entry.getKey(), errors.get(entry.getKey()) + entry.getValue());
+        }
+        for (Map.Entry<LoadTestDriver.Operation, long[]> entry : result.samples.entrySet()) {
+            long[] existing = samples.get(entry.getKey());
+            long[] merged = Arrays.copyOf(existing, existing.length + entry.getValue().length);
+            System.arraycopy(entry.getValue(), 0, merged, existing.length, entry.getValue().length);
+            Arrays.sort(merged);
+            samples.put(entry.getKey(), merged);
+        }
+    }
+
+    void setElapsedNanos(long value) {
+        elapsedNanos = value;
+    }
+
+    /**
+     * @param operation The operation to count.
+     * @return The number of times the operation succeeded.
+     */
+    public int getCount(LoadTestDriver.Operation operation) {
+        return samples.get(operation).length;
+    }
+
+    /**
+     * @param operation The operation to count.
+     * @return The number of times the operation failed.
+     */
+    public int getErrorCount(LoadTestDriver.Operation operation) {
+        return errors.get(operation);
+    }
+
+    /**
+     * @return The total number of failed operations across all threads.
+     */
+    public int getTotalErrorCount() {
+        int total = 0;
+        for (int count : errors.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * @return The total number of successful operations across all threads.
+     */
+    public int getTotalCount() {
+        int total = 0;
+        for (long[] values : samples.values()) {
+            total += values.length;
+        }
+        return total;
+    }
+
+    /**
+     * @return Successful operations per second over the whole run.
+     */
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : getTotalCount() * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Returns a latency percentile using the nearest-rank method.
+     * @param operation  The operation to inspect.
+     * @param percentile Percentile between 0 and 100.
+     * @return The latency in nanoseconds, or 0 if the operation was never performed.
+     */
+    public long getPercentileNanos(LoadTestDriver.Operation operation, double percentile) {
+        long[] values = samples.get(operation);
+        if (values.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * values.length);
+        return values[Math.max(0, Math.min(rank, values.length) - 1)];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format(Locale.US, "%d ops in %.1f ms (%.1f ops/s), %d errors%n",
+                getTotalCount(), elapsedNanos / 1e6, getThroughput(), getTotalErrorCount()));
+        for (LoadTestDriver.Operation operation : LoadTestDriver.Operation.values()) {
+            builder.append(String.format(Locale.US, "%-8s n=%-6d err=%-4d p50=%.3fms p95=%.3fms p99=%.3fms max=%.3fms%n",
+                    operation, getCount(operation), getErrorCount(operation),
+                    getPercentileNanos(operation, 50) / 1e6,
+                    getPercentileNanos(operation, 95) / 1e6,
+                    getPercentileNanos(operation, 99) / 1e6,
+                    getPercentileNanos(operation, 100) / 1e6));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,76 @@
+package com.three19.todolist.workload;
+
+import com.three19.todolist.database.ToDoListDB;
+import com.three19.todolist.model.ToDo;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs the synthetic workload against a real SQLite database through Robolectric.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class ToDoListDBLoadTest {
+
+    @Test
+    public void generator_isDeterministic() {
+        ToDoWorkloadGenerator first = new ToDoWorkloadGenerator(7);
+        ToDoWorkloadGenerator second = new ToDoWorkloadGenerator(7);
+
+        for (int i = 0; i < 1000; i++) {
+            ToDo a = first.nextToDo();
+            ToDo b = second.nextToDo();
+            assertEquals(a.getName(), b.getName());
+            assertEquals(a.getDeadline(), b.getDeadline());
+            assertEquals(a.getPriority(), b.getPriority());
+            assertTrue(a.getPriority() >= 1 && a.getPriority() <= 3);
+            assertTrue(a.getDeadline().matches("\\d{4}-\\d{2}-\\d{2}"));
+        }
+    }
+
+    @Test
+    public void driver_runsMixedWorkload() throws Exception {
+        ToDoListDB toDoListDB = new ToDoListDB(RuntimeEnvironment.application);
+        LoadTestConfig config = new LoadTestConfig()
+                .setSeed(1)
+                .setThreadCount(4)
+                .setOperationsPerThread(200)
+                .setInitialRows(50)
+                .setMix(40, 30, 10, 20);
+
+        LoadTestReport report = new LoadTestDriver(toDoListDB, config).run();
+        System.out.print(report);
+
+        // Concurrent callers must not break each other's database calls
+        assertEquals(0, report.getTotalErrorCount());
+        assertEquals(4 * 200, report.getTotalCount());
+        assertEquals(50 + report.getCount(LoadTestDriver.Operation.ADD)
+                        - report.getCount(LoadTestDriver.Operation.REMOVE),
+                toDoListDB.getList().size());
+        assertTrue(report.getThroughput() > 0);
+        assertTrue(report.getCount(LoadTestDriver.Operation.ADD) > 0);
+        assertTrue(report.getPercentileNanos(LoadTestDriver.Operation.ADD, 50)
+                <= report.getPercentileNanos(LoadTestDriver.Operation.ADD, 99));
+    }
+
+    @Test
+    public void driver_addOnlyMixPersistsEveryRow() throws Exception {
+        ToDoListDB toDoListDB = new ToDoListDB(RuntimeEnvironment.application);
+        LoadTestConfig config = new LoadTestConfig()
+                .setThreadCount(1)
+                .setOperationsPerThread(100)
+                .setInitialRows(10)
+                .setMix(1, 0, 0, 0);
+
+        LoadTestReport report = new LoadTestDriver(toDoListDB, config).run();
+
+        assertEquals(0, report.getTotalErrorCount());
+        assertEquals(110, toDoListDB.getList().size());
+    }
+}
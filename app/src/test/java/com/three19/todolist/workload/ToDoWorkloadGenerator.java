@@ -0,0 +1,135 @@
+package com.three19.todolist.workload;
+
+import com.three19.todolist.model.ToDo;
+
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Deterministic generator of realistic ToDo records for load and memory testing.
+ * Two generators created with the same seed and base date produce identical sequences.
+ */
+public class ToDoWorkloadGenerator {
+
+    // Short, frequently repeated task names ("Standup", "Review PR", ...)
+    private static final String[] COMMON_NAMES = {
+            "Standup", "Review PR", "Email team", "Pay rent", "Gym", "Groceries",
+            "Call mom", "Plan sprint", "Write report", "Water plants"
+    };
+
+    // Words used to build longer, mostly unique task descriptions
+    private static final String[] WORDS = {
+            "update", "fix", "draft", "prepare", "schedule", "book", "clean", "submit",
+            "budget", "invoice", "meeting", "dentist", "slides", "release", "notes",
+            "project", "garage", "flight", "tax", "return", "backlog", "client", "design"
+    };
+
+    // Share of tasks that reuse one of the common names
+    private static final double COMMON_NAME_RATIO = 0.6;
+
+    // Cumulative priority distribution: 50% Low, 35% Medium, 15% High
+    private static final double LOW_PRIORITY_RATIO = 0.50;
+    private static final double MEDIUM_PRIORITY_RATIO = 0.85;
+
+    // Deadlines fall between a week in the past and roughly three months ahead
+    private static final int DEADLINE_PAST_DAYS = 7;
+    private static final int DEADLINE_MEAN_DAYS = 14;
+    private static final int DEADLINE_MAX_DAYS = 90;
+
+    private final Random random;
+    private final Calendar baseDate;
+    private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd", Locale.US);
+
+    /**
+     * Creates a generator whose deadlines are spread around the given base date.
+     *
+     * @param seed     Seed for the underlying random number generator.
+     * @param baseDate Date that deadlines are relative to; it is copied, not retained.
+     */
+    public ToDoWorkloadGenerator(long seed, Calendar baseDate) {
+        this.random = new Random(seed);
+        this.baseDate = (Calendar) baseDate.clone();
+    }
+
+    /**
+     * Creates a generator whose deadlines are spread around 2024-01-01, so the
+     * output does not depend on the current date.
+     *
+     * @param seed Seed for the underlying random number generator.
+     */
+    public ToDoWorkloadGenerator(long seed) {
+        this(seed, fixedBaseDate());
+    }
+
+    /**
+     * Generates a new ToDo item that has not been stored yet (its ID is 0).
+     * @return A ToDo item with a generated name, deadline and priority.
+     */
+    public ToDo nextToDo() {
+        ToDo toDo = new ToDo();
+        toDo.setName(nextName());
+        toDo.setDeadline(nextDeadline());
+        toDo.setPriority(nextPriority());
+        return toDo;
+    }
+
+    /**
+     * Generates a task name. Most names are short and repeated; the rest are
+     * two to eight words long, giving names from a few to about 60 characters.
+     * @return The generated name.
+     */
+    public String nextName() {
+        if (random.nextDouble() < COMMON_NAME_RATIO) {
+            return COMMON_NAMES[random.nextInt(COMMON_NAMES.length)];
+        }
+
+        int wordCount = 2 + random.nextInt(7);
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < wordCount; i++) {
+            if (i > 0) {
+                name.append(' ');
+            }
+            name.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+        return name.toString();
+    }
+
+    /**
+     * Generates a deadline clustered in the next few weeks, with a long tail
+     * up to three months and a few overdue tasks.
+     * @return The deadline formatted as "yyyy-MM-dd".
+     */
+    public String nextDeadline() {
+        // Exponential spread around the mean, clamped to the allowed window
+        int offset = (int) (-Math.log(1 - random.nextDouble()) * DEADLINE_MEAN_DAYS) - DEADLINE_PAST_DAYS;
+        offset = Math.min(offset, DEADLINE_MAX_DAYS);
+
+        Calendar deadline = (Calendar) baseDate.clone();
+        deadline.add(Calendar.DAY_OF_MONTH, offset);
+        return dateFormat.format(deadline.getTime());
+    }
+
+    /**
+     * Generates a priority level following the Low/Medium/High distribution.
+     * @return 1 (Low), 2 (Medium) or 3 (High).
+     */
+    public int nextPriority() {
+        double value = random.nextDouble();
+        if (value < LOW_PRIORITY_RATIO) {
+            return 1;
+        } else if (value < MEDIUM_PRIORITY_RATIO) {
+            return 2;
+        }
+        return 3;
+    }
+
+    private static Calendar fixedBaseDate() {
+        Calendar calendar = Calendar.getInstance(Locale.US);
+        calendar.clear();
+        calendar.set(2024, Calendar.JANUARY, 1);
+        return calendar;
+    }
+}